@@ -12,10 +12,20 @@ public final class Constants {
     public static final double DEADZONE = 0.06;
 
     public static final SPI.Port NAVX_PORT = SPI.Port.kMXP;
+    public static final byte NAVX_UPDATE_RATE_HZ = (byte) 200;
+    public static final int GYRO_HISTORY_SIZE = 64;
     public static final double REPLAY_SPEED = 0.5;
     public static final int NUM_PATHS = 8;
     public static final int STALL_CHECK_CYCLES = 25;
 
+    public static final double LOOP_MARGIN = 0.002;
+    public static final double DEFERRED_BUDGET = 0.004;
+    public static final int MAX_POSTPONED_CYCLES = 50;
+    public static final int MAX_PENDING_LOGS = 64;
+    public static final int STATS_REPORT_CYCLES = 250;
+
+    public static final String STARTUP_PROBE_PROPERTY = "frc.robot.startupProbe";
+
     private static final double wheelRadius = 62.5;
     private static final double pulsePerRevolution = 1464;
     private static final double gearRatio = 1.0;
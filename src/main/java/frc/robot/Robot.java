@@ -3,20 +3,37 @@ package frc.robot;
 import edu.wpi.first.wpilibj.TimedRobot;
 import edu.wpi.first.wpilibj2.command.Command;
 import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.utils.LoopScheduler;
 
 public class Robot extends TimedRobot {
   private Command m_autonomousCommand;
   private RobotContainer m_robotContainer;
+  private boolean m_startupReported = false;
 
   @Override
   public void robotInit() {
-    m_robotContainer = new RobotContainer();
+    m_robotContainer = new RobotContainer(getPeriod());
+    RobotContainer.loopScheduler.addPeriodic(CommandScheduler.getInstance()::run, LoopScheduler.Priority.CRITICAL);
     System.out.println("HIII");
   }
 
   @Override
   public void robotPeriodic() {
-    CommandScheduler.getInstance().run();
+    RobotContainer.loopScheduler.run();
+
+    if (!m_startupReported) {
+      m_startupReported = true;
+      reportStartup();
+    }
+  }
+
+  private void reportStartup() {
+    String launchTime = System.getProperty(Constants.STARTUP_PROBE_PROPERTY);
+    if (launchTime == null) {
+      return;
+    }
+    System.out.println("[Startup] Robot ready after " + (System.currentTimeMillis() - Long.parseLong(launchTime)) + " ms.");
+    System.exit(0);
   }
 
   @Override
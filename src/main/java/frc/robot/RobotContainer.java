@@ -3,14 +3,17 @@ package frc.robot;
 import frc.robot.commands.Teleop;
 import frc.robot.gamepad.OI;
 import frc.robot.subsystems.DriveTrain;
+import frc.robot.utils.LoopScheduler;
 
 public class RobotContainer {
   
   public static DriveTrain driveTrain;
   public static OI oi;
+  public static LoopScheduler loopScheduler;
 
-  public RobotContainer() {
-    driveTrain = new DriveTrain();
+  public RobotContainer(double loopPeriod) {
+    loopScheduler = new LoopScheduler(loopPeriod);
+    driveTrain = new DriveTrain(loopScheduler);
     oi = new OI();
     
     driveTrain.setDefaultCommand(new Teleop());
@@ -7,6 +7,8 @@ import com.studica.frc.TitanQuadEncoder;
 import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj2.command.SubsystemBase;
 import frc.robot.Constants;
+import frc.robot.utils.GyroService;
+import frc.robot.utils.LoopScheduler;
 import frc.robot.utils.PathRecorder;
 
 public class DriveTrain extends SubsystemBase {
@@ -21,12 +23,17 @@ public class DriveTrain extends SubsystemBase {
     private TitanQuadEncoder rightBackEncoder;
     private TitanQuadEncoder rightFrontEncoder;
 
-    public AHRS navX = new AHRS(Constants.NAVX_PORT);
-    private PathRecorder pathRecorder = new PathRecorder();
+    private AHRS navX = new AHRS(Constants.NAVX_PORT, Constants.NAVX_UPDATE_RATE_HZ);
+    private GyroService gyro = new GyroService(navX);
+    private LoopScheduler scheduler;
+    private PathRecorder pathRecorder;
     private double lastLeftPower  = 0;
     private double lastRightPower = 0;
 
-    public DriveTrain() { 
+    public DriveTrain(LoopScheduler scheduler) { 
+        this.scheduler = scheduler;
+        pathRecorder = new PathRecorder(scheduler);
+
         leftBack = new TitanQuad(Constants.TITAN_ID, Constants.LEFT_BACK);
         leftFront = new TitanQuad(Constants.TITAN_ID, Constants.LEFT_FRONT);
         rightBack = new TitanQuad(Constants.TITAN_ID, Constants.RIGHT_BACK);
@@ -117,11 +124,11 @@ public class DriveTrain extends SubsystemBase {
     public boolean toggleRecording() {
         if (pathRecorder.isRecording()) {
             pathRecorder.stopRecording();
-            System.out.println("[PathRecorder] Stopped recording path " + (pathRecorder.getCurrentPathIndex() + 1) + " - " + pathRecorder.getSampleCount() + " samples recorded at a total of " + String.format("%.1f", pathRecorder.getPathDuration()) + " seconds.");
+            scheduler.log("[PathRecorder] Stopped recording path " + (pathRecorder.getCurrentPathIndex() + 1) + " - " + pathRecorder.getSampleCount() + " samples recorded at a total of " + String.format("%.1f", pathRecorder.getPathDuration()) + " seconds.");
             return false;
         } else {
             pathRecorder.startRecording();
-            System.out.println("[PathRecorder] Recording started on path " + (pathRecorder.getCurrentPathIndex() + 1) + ".");
+            scheduler.log("[PathRecorder] Recording started on path " + (pathRecorder.getCurrentPathIndex() + 1) + ".");
             return true;
         }
     }
@@ -138,11 +145,11 @@ public class DriveTrain extends SubsystemBase {
 
     public void startReplay() {
         if (!pathRecorder.hasRecordedPath()) {
-            System.out.println("[PathRecorder] Nothing recorded on path " + (pathRecorder.getCurrentPathIndex() + 1) + " - cannot replay.");
+            scheduler.log("[PathRecorder] Nothing recorded on path " + (pathRecorder.getCurrentPathIndex() + 1) + " - cannot replay.");
             return;
         }
         pathRecorder.startReplay(getLeftEncoderDistance(), getRightEncoderDistance());
-        System.out.println("[PathRecorder] Replay started on path " + (pathRecorder.getCurrentPathIndex() + 1) + " (" + pathRecorder.getSampleCount() + " samples).");
+        scheduler.log("[PathRecorder] Replay started on path " + (pathRecorder.getCurrentPathIndex() + 1) + " (" + pathRecorder.getSampleCount() + " samples).");
     }
 
     public void stopReplay() {
@@ -159,7 +166,7 @@ public class DriveTrain extends SubsystemBase {
                 getLeftEncoderDistance(), getRightEncoderDistance());
         if (powers == null) {
             driveTank(0, 0);
-            System.out.println("[PathRecorder] Replay finished on path " + (pathRecorder.getCurrentPathIndex() + 1) + ".");
+            scheduler.log("[PathRecorder] Replay finished on path " + (pathRecorder.getCurrentPathIndex() + 1) + ".");
             return false;
         }
         driveTank(powers[0], powers[1]);
@@ -167,17 +174,29 @@ public class DriveTrain extends SubsystemBase {
     }
 
     public void resetGyro() {
-        navX.zeroYaw();
+        gyro.zeroYaw();
+    }
+
+    public double getYaw() {
+        return gyro.getYaw();
+    }
+
+    public double getYawRate() {
+        return gyro.getRate();
+    }
+
+    public GyroService.Reading getGyroReadingAt(double timestamp) {
+        return gyro.getReadingAt(timestamp);
     }
 
     public void nextPath() {
         pathRecorder.nextPath();
-        System.out.println("[PathRecorder] Switched to path " + (pathRecorder.getCurrentPathIndex() + 1) + " of " + Constants.NUM_PATHS + " with a time of " + String.format("%.1f", pathRecorder.getPathDuration()) + " seconds.");
+        scheduler.log("[PathRecorder] Switched to path " + (pathRecorder.getCurrentPathIndex() + 1) + " of " + Constants.NUM_PATHS + " with a time of " + String.format("%.1f", pathRecorder.getPathDuration()) + " seconds.");
     }
 
     public void prevPath() {
         pathRecorder.prevPath();
-        System.out.println("[PathRecorder] Switched to path " + (pathRecorder.getCurrentPathIndex() + 1) + " of " + Constants.NUM_PATHS + " with a time of " + String.format("%.1f", pathRecorder.getPathDuration()) + " seconds.");
+        scheduler.log("[PathRecorder] Switched to path " + (pathRecorder.getCurrentPathIndex() + 1) + " of " + Constants.NUM_PATHS + " with a time of " + String.format("%.1f", pathRecorder.getPathDuration()) + " seconds.");
     }
 
     public int getCurrentPathIndex() {
@@ -0,0 +1,172 @@
+package frc.robot.utils;
+
+import java.util.concurrent.locks.StampedLock;
+
+import com.kauailabs.navx.AHRSProtocol.AHRSUpdateBase;
+import com.kauailabs.navx.frc.AHRS;
+import com.kauailabs.navx.frc.ITimestampedDataSubscriber;
+
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.Constants;
+
+/**
+ * Short history of navX heading updates, written on the navX IO thread and read without
+ * blocking. Timestamps are only accurate to about one sample.
+ */
+public class GyroService implements ITimestampedDataSubscriber {
+
+    public static class Reading {
+        public final double yaw;
+        public final double rate;
+        public final double timestamp;
+
+        public Reading(double yaw, double rate, double timestamp) {
+            this.yaw       = yaw;
+            this.rate      = rate;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static final int HISTORY = Constants.GYRO_HISTORY_SIZE;
+    private static final int OPTIMISTIC_RETRIES = 3;
+    private static final double CLOCK_DRIFT = 1e-4;
+
+    private final StampedLock lock = new StampedLock();
+
+    private final double[] yaws       = new double[HISTORY];
+    private final double[] rates      = new double[HISTORY];
+    private final double[] timestamps = new double[HISTORY];
+    private int next = 0;
+    private int filled = 0;
+
+    private double lastRawYaw;
+    private double lastSensorTime;
+    private double clockOffset = Double.NaN;
+    private volatile double yawOffset = 0;
+    private volatile boolean zeroPending = false;
+
+    public GyroService(AHRS navX) {
+        navX.registerCallback(this, null);
+    }
+
+    /** Called on the navX IO thread for every update received from the board. */
+    @Override
+    public void timestampedDataReceived(long systemTimestamp, long sensorTimestamp, AHRSUpdateBase data, Object context) {
+        double now = Timer.getFPGATimestamp();
+        double sensorTime = sensorTimestamp / 1000.0;
+        double yaw = data.yaw;
+
+        if (Double.isNaN(clockOffset) || sensorTime < lastSensorTime) {
+            clockOffset = now - sensorTime;
+        } else {
+            clockOffset = Math.min(clockOffset + CLOCK_DRIFT * (sensorTime - lastSensorTime), now - sensorTime);
+        }
+
+        if (zeroPending) {
+            yawOffset = yaw;
+            zeroPending = false;
+        }
+
+        double rate = 0;
+        if (filled > 0 && sensorTime > lastSensorTime) {
+            rate = wrapDegrees(yaw - lastRawYaw) / (sensorTime - lastSensorTime);
+        }
+        lastRawYaw     = yaw;
+        lastSensorTime = sensorTime;
+
+        long stamp = lock.writeLock();
+        try {
+            yaws[next]       = yaw;
+            rates[next]      = rate;
+            timestamps[next] = sensorTime + clockOffset;
+            next = (next + 1) % HISTORY;
+            if (filled < HISTORY) filled++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the buffered reading whose timestamp (FPGA seconds) is closest to the one
+     * given, or null if the navX has not reported yet.
+     */
+    public Reading getReadingAt(double timestamp) {
+        for (int attempt = 0; attempt < OPTIMISTIC_RETRIES; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            Reading reading = readNearest(timestamp);
+            if (stamp != 0 && lock.validate(stamp)) {
+                return reading;
+            }
+        }
+        long stamp = lock.readLock();
+        try {
+            return readNearest(timestamp);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Latest zeroed yaw in degrees, or 0 if the navX has not reported yet. Does not allocate. */
+    public double getYaw() {
+        if (filled == 0) return 0;
+        return wrapDegrees(readLatest(yaws) - yawOffset);
+    }
+
+    /** Latest yaw rate in degrees per second, or 0 if the navX has not reported yet. Does not allocate. */
+    public double getRate() {
+        if (filled == 0) return 0;
+        return readLatest(rates);
+    }
+
+    /**
+     * Makes the current heading read as zero from now on. If the navX has not reported
+     * yet, the first reading it sends becomes zero instead.
+     */
+    public void zeroYaw() {
+        if (filled == 0) {
+            zeroPending = true;
+        } else {
+            yawOffset = readLatest(yaws);
+        }
+    }
+
+    private double readLatest(double[] values) {
+        for (int attempt = 0; attempt < OPTIMISTIC_RETRIES; attempt++) {
+            long stamp = lock.tryOptimisticRead();
+            double value = values[(next - 1 + HISTORY) % HISTORY];
+            if (stamp != 0 && lock.validate(stamp)) {
+                return value;
+            }
+        }
+        long stamp = lock.readLock();
+        try {
+            return values[(next - 1 + HISTORY) % HISTORY];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Reading readNearest(double timestamp) {
+        int newest = next;
+        int available = filled;
+        if (available == 0) return null;
+
+        int best = (newest - 1 + HISTORY) % HISTORY;
+        double bestError = Math.abs(timestamps[best] - timestamp);
+        for (int age = 2; age <= available; age++) {
+            int slot = (newest - age + HISTORY) % HISTORY;
+            double error = Math.abs(timestamps[slot] - timestamp);
+            if (error > bestError) break;
+            best = slot;
+            bestError = error;
+        }
+        return new Reading(wrapDegrees(yaws[best] - yawOffset), rates[best], timestamps[best]);
+    }
+
+    private static double wrapDegrees(double degrees) {
+        degrees %= 360.0;
+        if (degrees >= 180.0) degrees -= 360.0;
+        if (degrees < -180.0) degrees += 360.0;
+        return degrees;
+    }
+}
@@ -0,0 +1,155 @@
+package frc.robot.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.Constants;
+
+/**
+ * Runs CRITICAL work every loop and fits deferrable work into what is left of the
+ * TimedRobot period, shedding or postponing it when the loop is close to overrunning.
+ */
+public class LoopScheduler {
+
+    public enum Priority {
+        CRITICAL,
+        DEFERRABLE
+    }
+
+    private static class Job {
+        final Runnable action;
+        int postponedCycles = 0;
+
+        Job(Runnable action) {
+            this.action = action;
+        }
+    }
+
+    private final List<Runnable> criticalTasks = new ArrayList<>();
+    private final List<Runnable> deferrableTasks = new ArrayList<>();
+    private final ArrayDeque<Job> pendingJobs = new ArrayDeque<>();
+    private final ArrayDeque<String> pendingLogs = new ArrayDeque<>();
+
+    private final double period;
+    private double periodDeadline = Double.NaN;
+
+    private long shedCount = 0;
+    private long deferredCount = 0;
+    private long droppedLogCount = 0;
+    private long overrunCount = 0;
+    private long reportedShed = 0;
+    private long reportedDeferred = 0;
+    private long reportedDroppedLogs = 0;
+    private long reportedOverruns = 0;
+    private int cyclesSinceReport = 0;
+
+    public LoopScheduler(double period) {
+        this.period = period;
+    }
+
+    public void addPeriodic(Runnable task, Priority priority) {
+        if (priority == Priority.CRITICAL) {
+            criticalTasks.add(task);
+        } else {
+            deferrableTasks.add(task);
+        }
+    }
+
+    /** Queues one-shot work that must eventually run but not necessarily this cycle. */
+    public void submit(Runnable job) {
+        pendingJobs.add(new Job(job));
+    }
+
+    /** Queues a console message; dropped if the log backlog is already full. */
+    public void log(String message) {
+        if (pendingLogs.size() >= Constants.MAX_PENDING_LOGS) {
+            droppedLogCount++;
+            return;
+        }
+        pendingLogs.add(message);
+    }
+
+    public void run() {
+        double cycleStart = Timer.getFPGATimestamp();
+        advancePeriod(cycleStart);
+
+        for (Runnable task : criticalTasks) {
+            task.run();
+        }
+
+        double now = Timer.getFPGATimestamp();
+        double loopDeadline = periodDeadline - Constants.LOOP_MARGIN;
+        if (now >= loopDeadline) {
+            overrunCount++;
+        }
+        double deadline = Math.min(now + Constants.DEFERRED_BUDGET, loopDeadline);
+
+        Iterator<Job> jobs = pendingJobs.iterator();
+        while (jobs.hasNext()) {
+            Job job = jobs.next();
+            if (Timer.getFPGATimestamp() < deadline || job.postponedCycles >= Constants.MAX_POSTPONED_CYCLES) {
+                jobs.remove();
+                job.action.run();
+            } else {
+                job.postponedCycles++;
+                deferredCount++;
+            }
+        }
+
+        for (Runnable task : deferrableTasks) {
+            if (Timer.getFPGATimestamp() < deadline) {
+                task.run();
+            } else {
+                shedCount++;
+            }
+        }
+
+        if (++cyclesSinceReport >= Constants.STATS_REPORT_CYCLES) {
+            cyclesSinceReport = 0;
+            reportStats();
+        }
+
+        if (!pendingLogs.isEmpty()) {
+            System.out.println(pendingLogs.poll());
+        }
+        while (!pendingLogs.isEmpty() && Timer.getFPGATimestamp() < deadline) {
+            System.out.println(pendingLogs.poll());
+        }
+    }
+
+    private void advancePeriod(double cycleStart) {
+        periodDeadline += period;
+        if (Double.isNaN(periodDeadline) || cycleStart < periodDeadline - period) {
+            periodDeadline = cycleStart + period;
+        }
+    }
+
+    private void reportStats() {
+        if (shedCount == reportedShed && deferredCount == reportedDeferred && droppedLogCount == reportedDroppedLogs && overrunCount == reportedOverruns) return;
+
+        pendingLogs.add("[LoopScheduler] " + (shedCount - reportedShed) + " shed, " + (deferredCount - reportedDeferred) + " deferred, " + (droppedLogCount - reportedDroppedLogs) + " log lines dropped, " + (overrunCount - reportedOverruns) + " overruns in the last " + Constants.STATS_REPORT_CYCLES + " cycles (" + shedCount + " shed, " + deferredCount + " deferred, " + droppedLogCount + " dropped total).");
+        reportedShed = shedCount;
+        reportedDeferred = deferredCount;
+        reportedDroppedLogs = droppedLogCount;
+        reportedOverruns = overrunCount;
+    }
+
+    public long getShedCount() {
+        return shedCount;
+    }
+
+    public long getDeferredCount() {
+        return deferredCount;
+    }
+
+    public long getDroppedLogCount() {
+        return droppedLogCount;
+    }
+
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+}
@@ -23,6 +23,7 @@ public class PathRecorder {
         }
     }
 
+    private final LoopScheduler scheduler;
     private final List<List<Sample>> paths = new ArrayList<>();
     private int currentPathIndex = 0;
 
@@ -38,7 +39,8 @@ public class PathRecorder {
 
     private static final String PATHS_DIR = Filesystem.getOperatingDirectory().getAbsolutePath() + "/paths";
 
-    public PathRecorder() {
+    public PathRecorder(LoopScheduler scheduler) {
+        this.scheduler = scheduler;
         for (int i = 0; i < Constants.NUM_PATHS; i++) {
             paths.add(new ArrayList<>());
         }
@@ -69,7 +71,9 @@ public class PathRecorder {
 
     public void stopRecording() {
         recording = false;
-        savePath(currentPathIndex);
+        int index = currentPathIndex;
+        List<Sample> snapshot = new ArrayList<>(currentSamples());
+        scheduler.submit(() -> writePath(index, snapshot));
     }
 
     public boolean isRecording() {
@@ -128,7 +132,7 @@ public class PathRecorder {
 
         boolean commanding = Math.abs(s.leftPower) > 0.05 || Math.abs(s.rightPower) > 0.05;
         if (replayIndex > 0 && commanding && checkStall(currentLeft, currentRight)) {
-            System.out.println("Stall detected on path " + (currentPathIndex + 1)
+            scheduler.log("Stall detected on path " + (currentPathIndex + 1)
                     + " at sample " + replayIndex + ": stopping replay.");
             replaying = false;
             return null;
@@ -162,7 +166,10 @@ public class PathRecorder {
     }
 
     public void savePath(int index) {
-        List<Sample> samples = paths.get(index);
+        writePath(index, paths.get(index));
+    }
+
+    private void writePath(int index, List<Sample> samples) {
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(pathFile(index)))) {
             writer.write("[");
             for (int i = 0; i < samples.size(); i++) {
@@ -171,9 +178,9 @@ public class PathRecorder {
                 writer.write("[" + s.leftPower + "," + s.rightPower + "]");
             }
             writer.write("]");
-            System.out.println("[PathRecorder] Saved path " + (index + 1) + " to disk (" + samples.size() + " samples).");
+            scheduler.log("[PathRecorder] Saved path " + (index + 1) + " to disk (" + samples.size() + " samples).");
         } catch (Exception e) {
-            System.out.println("[PathRecorder] ERROR saving path " + (index + 1) + ": " + e.getMessage());
+            scheduler.log("[PathRecorder] ERROR saving path " + (index + 1) + ": " + e.getMessage());
         }
     }
 
@@ -214,9 +221,9 @@ public class PathRecorder {
                 i = close + 1;
             }
 
-            System.out.println("[PathRecorder] Loaded path " + (index + 1) + " from disk (" + samples.size() + " samples).");
+            scheduler.log("[PathRecorder] Loaded path " + (index + 1) + " from disk (" + samples.size() + " samples).");
         } catch (Exception e) {
-            System.out.println("[PathRecorder] ERROR loading path " + (index + 1) + ": " + e.getMessage());
+            scheduler.log("[PathRecorder] ERROR loading path " + (index + 1) + ": " + e.getMessage());
         }
     }
 
@@ -0,0 +1,133 @@
+#!/bin/sh
+# Builds and measures the application class-data-sharing (AppCDS) archive for the
+# robot program. Runs on the VMX itself: the archive has to be dumped by the same JVM
+# that will map it, so it cannot be produced on the build machine.
+#
+#   sh appcds.sh build   [archive]        train on a robot startup and dump the archive
+#   sh appcds.sh measure [archive] [runs] compare startup time with and without it
+#
+# Only used when deploying with -PappCds (see build.gradle).
+#
+# Both start the robot program in probe mode (-Dfrc.robot.startupProbe=<launch time in
+# ms>), which prints the time since launch and exits once robotInit and the first
+# robotPeriodic are done. The robot program is stopped for the duration and restarted
+# afterwards; if it is still running after being stopped, the script aborts rather than
+# open the navX, Titan and HAL from a second process. Each probe startup is killed
+# after APPCDS_PROBE_TIMEOUT seconds (default 60) so a stalled robotInit cannot hang
+# the deploy; if the training run times out no archive is dumped.
+
+ARCHIVE=${2:-/home/lvuser/robot.jsa}
+RUNS=${3:-5}
+PROBE_TIMEOUT=${APPCDS_PROBE_TIMEOUT:-60}
+CLASSLIST=${ARCHIVE%.jsa}.classlist
+ROBOT_COMMAND=/home/lvuser/robotCommand
+KILL_ROBOT=/usr/local/frc/bin/frcKillRobot.sh
+
+if [ ! -f "$ROBOT_COMMAND" ]; then
+    echo "[AppCDS] $ROBOT_COMMAND not found - deploy the robot program first."
+    exit 1
+fi
+
+# The deployed launch line, with extra JVM flags inserted just before -jar so they
+# override the ones already in it.
+robot_command() {
+    sed "s| -jar | $* -jar |" "$ROBOT_COMMAND"
+}
+
+JAVA=$(awk '{ print $1 }' "$ROBOT_COMMAND")
+JAR=$(sed -n 's|.* -jar *"\{0,1\}\([^" ]*\)"\{0,1\}.*|\1|p' "$ROBOT_COMMAND")
+
+stop_robot() {
+    if [ -x "$KILL_ROBOT" ]; then
+        "$KILL_ROBOT" -t 2> /dev/null
+    fi
+}
+
+# Succeeds if a java process is running the deployed jar.
+robot_running() {
+    for pid in $(pgrep -f "$JAR"); do
+        [ "$(cat /proc/"$pid"/comm 2> /dev/null)" = java ] && return 0
+    done
+    return 1
+}
+
+# Exits if a robot program is still running from the deployed jar.
+ensure_stopped() {
+    for wait in 1 2 3 4 5; do
+        robot_running || return 0
+        sleep 1
+    done
+    echo "[AppCDS] A robot program is still running from $JAR after stopping it - aborting."
+    exit 1
+}
+
+start_robot() {
+    if [ -x "$KILL_ROBOT" ]; then
+        "$KILL_ROBOT" -t -r 2> /dev/null
+    fi
+}
+
+# Starts the robot program in probe mode with the given extra JVM flags, killing it
+# if it has not exited within PROBE_TIMEOUT seconds.
+run_probe() {
+    timeout -k 5 "$PROBE_TIMEOUT" sh -c "exec $(robot_command "$* -Dfrc.robot.startupProbe=$(date +%s%3N)")" 2>&1
+}
+
+# Prints the time from launch to ready, in ms. Prints nothing if the probe timed out
+# or failed.
+probe() {
+    run_probe "$@" | sed -n 's|^\[Startup\] Robot ready after \([0-9]*\) ms.*|\1|p'
+}
+
+average() {
+    total=0
+    count=0
+    for run in $(seq "$RUNS"); do
+        ms=$(probe "$@")
+        [ -z "$ms" ] && continue
+        total=$((total + ms))
+        count=$((count + 1))
+    done
+    [ "$count" -gt 0 ] && echo $((total / count))
+}
+
+case "$1" in
+    build)
+        stop_robot
+        ensure_stopped
+        rm -f "$ARCHIVE" "$CLASSLIST"
+        ready=$(probe "-Xshare:off -XX:DumpLoadedClassList=$CLASSLIST")
+        if [ -z "$ready" ]; then
+            rm -f "$CLASSLIST"
+            echo "[AppCDS] Training startup did not report ready within ${PROBE_TIMEOUT}s - no archive built."
+        elif [ -s "$CLASSLIST" ] && "$JAVA" -Xshare:dump -XX:SharedClassListFile="$CLASSLIST" \
+                -XX:SharedArchiveFile="$ARCHIVE" -cp "$JAR" > /dev/null 2>&1; then
+            echo "[AppCDS] Built $ARCHIVE from $(wc -l < "$CLASSLIST") classes."
+        else
+            rm -f "$ARCHIVE"
+            echo "[AppCDS] Could not build $ARCHIVE - robot will start without it."
+        fi
+        start_robot
+        ;;
+    measure)
+        if [ ! -f "$ARCHIVE" ]; then
+            echo "[AppCDS] $ARCHIVE not found - run 'build' first."
+            exit 1
+        fi
+        stop_robot
+        ensure_stopped
+        # Confirms this JVM can map the archive and that the robot's own classes come
+        # from it, i.e. the -cp used for the dump matches the deployed -jar launch.
+        shared=$(run_probe "-Xshare:on -XX:SharedArchiveFile=$ARCHIVE -Xlog:class+load=info" \
+            | grep -c 'frc\.robot\..*source: shared objects file')
+        echo "[AppCDS] $shared frc.robot classes loaded from $ARCHIVE."
+        without=$(average "-Xshare:off")
+        with=$(average "-Xshare:on -XX:SharedArchiveFile=$ARCHIVE")
+        echo "[AppCDS] Startup over $RUNS runs: ${without:-?} ms without archive, ${with:-?} ms with archive."
+        start_robot
+        ;;
+    *)
+        echo "usage: $0 build|measure [archive] [runs]"
+        exit 1
+        ;;
+esac